@@ -60,8 +60,18 @@ SYSPROPS=(
   -Dscalekit.client_id="${SCALEKIT_CLIENT_ID}"
   -Dscalekit.client_secret="${SCALEKIT_CLIENT_SECRET}"
   -Dscalekit.environment_url="${SCALEKIT_ENVIRONMENT_URL}"
+  -Dmanagement.endpoints.web.exposure.include=health,authflow
 )
 
+# Operator account for /actuator/authflow (separate from end users); only created when a password is set in .env
+if [[ -n "${AUTHFLOW_OPERATOR_PASSWORD:-}" ]]; then
+  SYSPROPS+=(
+    -Dspring.security.user.name="${AUTHFLOW_OPERATOR_USER:-operator}"
+    -Dspring.security.user.password="${AUTHFLOW_OPERATOR_PASSWORD}"
+    -Dspring.security.user.roles=OPERATOR
+  )
+fi
+
 # Allow overriding the magic link callback via env if desired
 if [[ -n "${SCALEKIT_MAGICLINK_AUTH_URI:-}" ]]; then
   SYSPROPS+=( -Dscalekit.magiclink_auth_uri="${SCALEKIT_MAGICLINK_AUTH_URI}" )
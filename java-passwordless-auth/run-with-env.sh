@@ -34,7 +34,16 @@ JAVA_SYSPROPS="\
   -Dspring.lifecycle.timeout-per-shutdown-phase=30s \
   -Dscalekit.client_id=$SCALEKIT_CLIENT_ID \
   -Dscalekit.client_secret=$SCALEKIT_CLIENT_SECRET \
-  -Dscalekit.environment_url=$SCALEKIT_ENVIRONMENT_URL"
+  -Dscalekit.environment_url=$SCALEKIT_ENVIRONMENT_URL \
+  -Dmanagement.endpoints.web.exposure.include=health,authflow"
+
+# Operator account for /actuator/authflow (separate from end users); only created when a password is set in .env
+if [ -n "${AUTHFLOW_OPERATOR_PASSWORD:-}" ]; then
+  JAVA_SYSPROPS="$JAVA_SYSPROPS \
+  -Dspring.security.user.name=${AUTHFLOW_OPERATOR_USER:-operator} \
+  -Dspring.security.user.password=$AUTHFLOW_OPERATOR_PASSWORD \
+  -Dspring.security.user.roles=OPERATOR"
+fi
 
 # Replace the shell with the Java process so Ctrl+C (SIGINT) and SIGTERM go straight to Spring Boot
 exec java $JAVA_FLAGS $JAVA_SYSPROPS -jar "$JAR" "$@"
@@ -1,5 +1,6 @@
 package com.example.auth;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
@@ -19,6 +20,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.auth.metrics.AuthFlowMetrics;
+import com.example.auth.metrics.AuthFlowMetrics.Stage;
+import com.example.auth.web.StaticPageCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 @Controller
@@ -33,6 +40,8 @@ public class AuthController {
     private static final String ATTR_USER = "user";
     private static final String VIEW_DASHBOARD = "dashboard";
     private static final String VIEW_VERIFY = "verify";
+    private static final String VIEW_LOGIN = "login";
+    private static final String VIEW_CALLBACK = "callback";
 
     // Keys for user map
     private static final String KEY_EMAIL = "email";
@@ -40,10 +49,14 @@ public class AuthController {
     private static final String KEY_ID = "id";
 
     private final AuthService authService;
+    private final StaticPageCache pageCache;
+    private final AuthFlowMetrics metrics;
 
     @Autowired
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, StaticPageCache pageCache, AuthFlowMetrics metrics) {
         this.authService = authService;
+        this.pageCache = pageCache;
+        this.metrics = metrics;
     }
 
     // Magic link callback endpoint (configured in SendPasswordlessOptions.magiclinkAuthUri)
@@ -56,7 +69,9 @@ public class AuthController {
             @RequestParam(required = false, name = "auth_request_id") String authRequestId,
             @RequestParam(required = false, name = "authRequestId") String authRequestIdAlt,
             @RequestParam(required = false, name = "request_id") String requestId,
-            Model model) {
+            Model model,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         String resolvedToken = (token != null) ? token : linkToken;
         String resolvedAuthRequestId = authRequestId;
         if (resolvedAuthRequestId == null) {
@@ -65,10 +80,12 @@ public class AuthController {
         if (resolvedAuthRequestId == null) {
             resolvedAuthRequestId = requestId;
         }
+        metrics.hit(Stage.MAGIC_CALLBACK);
         logger.info("Magic link callback received. state={}, token_present={}, auth_request_id={}", state, resolvedToken != null, resolvedAuthRequestId);
         // If no query params provided, return a page that parses URL fragment and posts to backend
         if (resolvedToken == null) {
-            return "callback"; // renders a small page with JS to parse location.hash
+            // Small static page with JS to parse location.hash; served pre-rendered when cached
+            return pageCache.serve(VIEW_CALLBACK, request, response) ? null : VIEW_CALLBACK;
         }
         // If auth request id is missing, try to resolve using state mapping
         if ((resolvedAuthRequestId == null || resolvedAuthRequestId.isBlank()) && state != null) {
@@ -129,8 +146,13 @@ public class AuthController {
 
     // Show login page
     @GetMapping("/login")
-    public String showLogin() {
-        return "login";
+    public String showLogin(Model model, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        metrics.hit(Stage.LOGIN_VIEW);
+        // Only a flash message makes this page dynamic; otherwise serve the pre-rendered bytes
+        if (!hasMessage(model) && pageCache.serve(VIEW_LOGIN, request, response)) {
+            return null;
+        }
+        return VIEW_LOGIN;
     }
 
     // Handle login form POST
@@ -152,8 +174,12 @@ public class AuthController {
 
     // Show verify page
     @GetMapping("/verify")
-    public String showVerify(@ModelAttribute("message") String message, Model model) {
+    public String showVerify(@ModelAttribute("message") String message, Model model,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
         model.addAttribute(ATTR_MESSAGE, message);
+        if (!hasMessage(model) && pageCache.serve(VIEW_VERIFY, request, response)) {
+            return null;
+        }
         return VIEW_VERIFY;
     }
 
@@ -196,4 +222,9 @@ public class AuthController {
         // User details would be set in session or via redirect attributes in a real app
         return VIEW_DASHBOARD;
     }
+
+    private static boolean hasMessage(Model model) {
+        Object message = model.getAttribute(ATTR_MESSAGE);
+        return message != null && !message.toString().isBlank();
+    }
 }
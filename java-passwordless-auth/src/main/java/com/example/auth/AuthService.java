@@ -10,6 +10,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.example.auth.metrics.AuthFlowMetrics;
+import com.example.auth.metrics.AuthFlowMetrics.Stage;
 import com.example.auth.user.UserAccount;
 import com.scalekit.ScalekitClient;
 import com.scalekit.api.PasswordlessClient;
@@ -44,10 +46,12 @@ public class AuthService {
     }
 
     private final com.example.auth.user.UserAccountRepository userRepo;
+    private final AuthFlowMetrics metrics;
 
-    public AuthService(com.example.auth.user.UserAccountRepository userRepo) {
-        // Initialization moved to a separate method to allow @Value injection
+    public AuthService(com.example.auth.user.UserAccountRepository userRepo, AuthFlowMetrics metrics) {
+        // Scalekit client initialization moved to init() to allow @Value injection
         this.userRepo = userRepo;
+        this.metrics = metrics;
     }
 
     // Use @PostConstruct to initialize after Spring constructs the service
@@ -71,6 +75,13 @@ public class AuthService {
     }
 
     public PasswordlessResult sendPasswordlessLinkOrOtp(String email) {
+        long start = System.nanoTime();
+        PasswordlessResult result = sendPasswordless(email);
+        metrics.record(Stage.SEND, result.authRequestId != null && !result.authRequestId.isBlank(), start);
+        return result;
+    }
+
+    private PasswordlessResult sendPasswordless(String email) {
         logger.info("[Scalekit] Sending OTP/Magic Link to {}", email);
         try {
             SendPasswordlessOptions options = new SendPasswordlessOptions();
@@ -107,6 +118,13 @@ public class AuthService {
 
 
     public boolean verifyCodeOrLink(String code, String authRequestId) {
+        long start = System.nanoTime();
+        boolean verified = verifyCode(code, authRequestId);
+        metrics.record(Stage.OTP_VERIFY, verified, start);
+        return verified;
+    }
+
+    private boolean verifyCode(String code, String authRequestId) {
         logger.info("[Scalekit] Verifying code for authRequestId: {}", authRequestId);
         try {
             VerifyPasswordlessOptions options = new VerifyPasswordlessOptions();
@@ -145,6 +163,13 @@ public class AuthService {
      * @return the verified email if successful, otherwise null
      */
     public String verifyMagicLink(String linkToken, String authRequestId) {
+        long start = System.nanoTime();
+        String email = verifyLinkToken(linkToken, authRequestId);
+        metrics.record(Stage.MAGIC_VERIFY, email != null, start);
+        return email;
+    }
+
+    private String verifyLinkToken(String linkToken, String authRequestId) {
         logger.info("[Scalekit] Verifying magic link for authRequestId: {}", authRequestId);
         try {
             VerifyPasswordlessOptions options = new VerifyPasswordlessOptions();
@@ -184,6 +209,7 @@ public class AuthService {
     }
 
     private void upsertUser(String email, String displayName) {
+        long start = System.nanoTime();
         try {
             userRepo.findByEmail(email)
                 .map(existing -> {
@@ -194,7 +220,9 @@ public class AuthService {
                     return existing;
                 })
                 .orElseGet(() -> userRepo.save(new UserAccount(email, displayName)));
+            metrics.record(Stage.UPSERT, true, start);
         } catch (Exception e) {
+            metrics.record(Stage.UPSERT, false, start);
             logger.debug("User upsert skipped due to repository issue: {}", e.getMessage());
         }
     }
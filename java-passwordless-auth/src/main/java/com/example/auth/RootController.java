@@ -1,12 +1,29 @@
 package com.example.auth;
 
+import java.io.IOException;
+
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import com.example.auth.web.StaticPageCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Controller
 public class RootController {
+    private final StaticPageCache pageCache;
+
+    public RootController(StaticPageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+
     @GetMapping("/")
-    public String home() {
+    public String home(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Page has no model; serve the pre-rendered bytes when the cache is on
+        if (pageCache.serve("index", request, response)) {
+            return null;
+        }
         return "index";
     }
 }
@@ -0,0 +1,26 @@
+package com.example.auth.metrics;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/authflow}) exposing the rolling auth funnel
+ * and per-stage latency snapshots recorded by {@link AuthFlowMetrics}.
+ */
+@Component
+@Endpoint(id = "authflow")
+public class AuthFlowEndpoint {
+    private final AuthFlowMetrics metrics;
+
+    public AuthFlowEndpoint(AuthFlowMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> authFlow() {
+        return metrics.snapshot();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.auth.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process rolling window of auth funnel counters and latency histograms,
+ * one slot per minute. Recording is lock-free (striped {@link LongAdder}s and
+ * atomic histogram buckets); a slot is replaced by CAS when its minute rolls over.
+ * <p>
+ * Counts are approximate at a rollover: a thread that fetched a slot just before
+ * it was swapped out still writes into the evicted slot, and that sample is lost.
+ */
+@Component
+public class AuthFlowMetrics {
+    public static final int DEFAULT_WINDOW_MINUTES = 15;
+    private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+
+    /** Funnel stages, in funnel order. Page hits are plain counts without outcome or latency. */
+    public enum Stage {
+        LOGIN_VIEW("loginViews", false),
+        SEND("sends", true),
+        OTP_VERIFY("otpVerifies", true),
+        MAGIC_CALLBACK("magicCallbacks", false),
+        MAGIC_VERIFY("magicVerifies", true),
+        UPSERT("upserts", true);
+
+        private final String key;
+        private final boolean timed;
+
+        Stage(String key, boolean timed) {
+            this.key = key;
+            this.timed = timed;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final LongSupplier clock;
+
+    @Autowired
+    public AuthFlowMetrics(@Value("${app.metrics.authflow.window-minutes:15}") int windowMinutes) {
+        this(windowMinutes, System::currentTimeMillis);
+    }
+
+    AuthFlowMetrics(int windowMinutes, LongSupplier clock) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, windowMinutes));
+        this.clock = clock;
+    }
+
+    /** Count a page hit (a stage without outcome or latency). */
+    public void hit(Stage stage) {
+        if (stage.timed) {
+            throw new IllegalArgumentException(stage + " is a timed stage; use record()");
+        }
+        slot(currentMinute()).stats.get(stage).hits.increment();
+    }
+
+    /**
+     * Record a stage outcome and its latency.
+     * @param startNanos value of {@link System#nanoTime()} taken when the stage started
+     */
+    public void record(Stage stage, boolean success, long startNanos) {
+        if (!stage.timed) {
+            throw new IllegalArgumentException(stage + " is a page-hit stage; use hit()");
+        }
+        StageStats stats = slot(currentMinute()).stats.get(stage);
+        (success ? stats.success : stats.failure).increment();
+        stats.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    /** Per-minute snapshots (newest first) plus a summary over the whole window. */
+    public Map<String, Object> snapshot() {
+        long now = currentMinute();
+        List<Slot> live = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Slot slot = slots.get(i);
+            if (slot != null && now - slot.minute < slots.length()) {
+                live.add(slot);
+            }
+        }
+        live.sort((a, b) -> Long.compare(b.minute, a.minute));
+
+        List<Map<String, Object>> minutes = new ArrayList<>(live.size());
+        for (Slot slot : live) {
+            Map<String, Object> minute = new LinkedHashMap<>();
+            minute.put("minute", Instant.ofEpochMilli(slot.minute * MINUTE_MS).toString());
+            minute.putAll(summarize(List.of(slot)));
+            minutes.add(minute);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("windowMinutes", slots.length());
+        out.put("window", summarize(live));
+        out.put("minutes", minutes);
+        return out;
+    }
+
+    private static Map<String, Object> summarize(List<Slot> window) {
+        Map<Stage, long[]> counts = new EnumMap<>(Stage.class);
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            if (!stage.timed) {
+                long hits = 0;
+                for (Slot slot : window) {
+                    hits += slot.stats.get(stage).hits.sum();
+                }
+                counts.put(stage, new long[] {hits, 0});
+                s.put("count", hits);
+                stages.put(stage.key(), s);
+                continue;
+            }
+            long success = 0;
+            long failure = 0;
+            long[] buckets = new long[LatencyHistogram.BUCKETS];
+            long[] totals = new long[3];
+            for (Slot slot : window) {
+                StageStats stats = slot.stats.get(stage);
+                success += stats.success.sum();
+                failure += stats.failure.sum();
+                stats.latency.addTo(buckets, totals);
+            }
+            counts.put(stage, new long[] {success, failure});
+            s.put("success", success);
+            s.put("failure", failure);
+            if (totals[0] > 0) {
+                s.put("latency", LatencyHistogram.summarize(buckets, totals));
+            }
+            stages.put(stage.key(), s);
+        }
+
+        long sends = counts.get(Stage.SEND)[0];
+        long verified = counts.get(Stage.OTP_VERIFY)[0] + counts.get(Stage.MAGIC_VERIFY)[0];
+        Map<String, Object> funnel = new LinkedHashMap<>();
+        // Same keys as under "stages": hits for page views, successes for timed stages
+        for (Stage stage : Stage.values()) {
+            funnel.put(stage.key(), counts.get(stage)[0]);
+        }
+        funnel.put("sendSuccessRate", ratio(sends, sends + counts.get(Stage.SEND)[1]));
+        funnel.put("verifyConversion", ratio(verified, sends));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("funnel", funnel);
+        out.put("stages", stages);
+        return out;
+    }
+
+    private static Double ratio(long numerator, long denominator) {
+        return denominator == 0 ? null : Math.round(numerator * 10000.0 / denominator) / 10000.0;
+    }
+
+    private long currentMinute() {
+        return clock.getAsLong() / MINUTE_MS;
+    }
+
+    private Slot slot(long minute) {
+        int index = (int) (minute % slots.length());
+        Slot slot = slots.get(index);
+        // A slower thread still on the previous minute must not evict a newer slot
+        if (slot != null && slot.minute >= minute) {
+            return slot;
+        }
+        // Allocate at most once; a thread losing the CAS adopts the winner's slot
+        Slot fresh = new Slot(minute);
+        while (!slots.compareAndSet(index, slot, fresh)) {
+            slot = slots.get(index);
+            if (slot != null && slot.minute >= minute) {
+                return slot;
+            }
+        }
+        return fresh;
+    }
+
+    private static final class Slot {
+        final long minute;
+        final Map<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+
+        Slot(long minute) {
+            this.minute = minute;
+            for (Stage stage : Stage.values()) {
+                stats.put(stage, new StageStats(stage.timed));
+            }
+        }
+    }
+
+    // Page-hit stages only carry a counter; timed stages carry outcomes and a histogram
+    private static final class StageStats {
+        final LongAdder hits;
+        final LongAdder success;
+        final LongAdder failure;
+        final LatencyHistogram latency;
+
+        StageStats(boolean timed) {
+            this.hits = timed ? null : new LongAdder();
+            this.success = timed ? new LongAdder() : null;
+            this.failure = timed ? new LongAdder() : null;
+            this.latency = timed ? new LatencyHistogram() : null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.auth.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free HDR-style latency histogram in microseconds: log-linear buckets
+ * (8 sub-buckets per power of two, ~12.5% relative error) updated with plain
+ * atomic increments, so recording never blocks the request thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Covers up to 2^40 µs (~12 days); anything larger lands in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /** Add this histogram's buckets into an accumulator (see {@link #summarize}). */
+    void addTo(long[] bucketAcc, long[] totals) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                bucketAcc[i] += c;
+            }
+        }
+        totals[0] += count.sum();
+        totals[1] += sum.sum();
+        totals[2] = Math.max(totals[2], max.get());
+    }
+
+    /** Summarize accumulated buckets as count/mean/percentiles/max (latencies in ms). */
+    static Map<String, Object> summarize(long[] bucketAcc, long[] totals) {
+        long n = totals[0];
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("count", n);
+        if (n == 0) {
+            return out;
+        }
+        out.put("meanMs", toMillis(totals[1] / n));
+        out.put("p50Ms", toMillis(percentile(bucketAcc, n, 0.50, totals[2])));
+        out.put("p90Ms", toMillis(percentile(bucketAcc, n, 0.90, totals[2])));
+        out.put("p99Ms", toMillis(percentile(bucketAcc, n, 0.99, totals[2])));
+        out.put("maxMs", toMillis(totals[2]));
+        return out;
+    }
+
+    static long percentile(long[] bucketAcc, long n, double quantile, long max) {
+        long rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < bucketAcc.length; i++) {
+            seen += bucketAcc[i];
+            if (seen >= rank && bucketAcc[i] != 0) {
+                // Report the bucket's upper bound, capped at the observed max
+                return Math.min(lowerBound(i + 1) - 1, max);
+            }
+        }
+        return max;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.auth.security;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.example.auth.metrics.AuthFlowEndpoint;
+
 @Configuration
 public class SecurityConfig {
 
+    // Operational endpoints are for operators only, not for signed-in end users (ROLE_USER)
+    public static final String ROLE_OPERATOR = "OPERATOR";
+
     @Bean
     SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -17,6 +23,7 @@ public class SecurityConfig {
                 .requestMatchers("/", "/auth/login", "/auth/verify", "/auth/callback", "/auth/callback/**").permitAll()
                 .requestMatchers("/api/auth/send", "/api/auth/verify/**").permitAll()
                 .requestMatchers("/api/auth/me").authenticated()
+                .requestMatchers(EndpointRequest.to(AuthFlowEndpoint.class)).hasRole(ROLE_OPERATOR)
                 .anyRequest().authenticated()
             )
             .httpBasic(Customizer.withDefaults())
@@ -0,0 +1,220 @@
+package com.example.auth.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Renders model-independent Thymeleaf pages once and serves the cached bytes
+ * (plain or gzip) with ETag/Cache-Control, so hot pages on the login path skip
+ * template evaluation on every hit.
+ */
+@Component
+public class StaticPageCache {
+    private static final Logger logger = LoggerFactory.getLogger(StaticPageCache.class);
+    // Rendered with a plain (non-web) Thymeleaf context: these templates must not use
+    // @{...} links, #request/#session/#servletContext, or th:action (CSRF field).
+    // render() checks for them and leaves any offending view to normal rendering.
+    private static final List<String> STATIC_VIEWS = List.of("index", "login", "verify", "callback");
+    private static final List<String> WEB_CONTEXT_EXPRESSIONS = List.of(
+            "@{", "#request", "#session", "#servletContext", "#httpServletRequest", "#httpSession", "th:action");
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+    private static final String GZIP = "gzip";
+
+    private final ITemplateEngine templateEngine;
+    private final ConcurrentHashMap<String, RenderedPage> pages = new ConcurrentHashMap<>();
+    // Views that failed the web-context check or failed to render; always rendered normally
+    private final Set<String> uncacheable = ConcurrentHashMap.newKeySet();
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    @Value("${spring.thymeleaf.prefix:classpath:/templates/}")
+    private String templatePrefix = "classpath:/templates/";
+    @Value("${spring.thymeleaf.suffix:.html}")
+    private String templateSuffix = ".html";
+
+    // Off when templates are reloaded on change (e.g. devtools sets spring.thymeleaf.cache=false)
+    private final boolean enabled;
+
+    public StaticPageCache(ITemplateEngine templateEngine,
+                           @Value("${app.pages.cache.enabled:true}") boolean cacheEnabled,
+                           @Value("${spring.thymeleaf.cache:true}") boolean thymeleafCache) {
+        this.templateEngine = templateEngine;
+        this.enabled = cacheEnabled && thymeleafCache;
+    }
+
+    // Precompile the login-path pages so the first visitor doesn't pay for rendering
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            logger.info("Static page cache disabled; pages render per request.");
+            return;
+        }
+        for (String view : STATIC_VIEWS) {
+            tryPage(view);
+        }
+        logger.info("Static page cache warmed: {}", pages.keySet());
+    }
+
+    /**
+     * Write the cached rendering of a view to the response.
+     * @return false if caching is disabled or the view could not be pre-rendered, in which case
+     *         nothing was written and the caller should render normally
+     */
+    public boolean serve(String view, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        RenderedPage page = tryPage(view);
+        if (page == null) {
+            return false;
+        }
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? page.gzipEtag() : page.etag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Only the validator of the representation being served may produce a 304
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        byte[] body = page.plain();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = page.gzip();
+        }
+        response.setContentType(MediaType.TEXT_HTML_VALUE + ";charset=UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+        return true;
+    }
+
+    private RenderedPage tryPage(String view) {
+        if (uncacheable.contains(view)) {
+            return null;
+        }
+        try {
+            return pages.computeIfAbsent(view, this::render);
+        } catch (RuntimeException e) {
+            // Log once; the view then falls back to per-request rendering
+            if (uncacheable.add(view)) {
+                logger.warn("Static page cache could not pre-render view {}; rendering per request. reason={}", view, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private RenderedPage render(String view) {
+        // Every caching path goes through here, so no view is cached from a plain context by mistake
+        String expression = webContextExpression(templateSource(view));
+        if (expression != null) {
+            throw new IllegalStateException("template uses web-context expression '" + expression + "'");
+        }
+        String html = templateEngine.process(view, new Context(Locale.getDefault()));
+        byte[] plain = html.getBytes(StandardCharsets.UTF_8);
+        String hash = DigestUtils.md5DigestAsHex(plain);
+        // Strong validators must differ per content-coding
+        return new RenderedPage(plain, gzip(plain), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+    }
+
+    private String templateSource(String view) {
+        Resource resource = resourceLoader.getResource(templatePrefix + view + templateSuffix);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.debug("Static page cache could not read template {}: {}", view, e.getMessage());
+            return null;
+        }
+    }
+
+    static String webContextExpression(String source) {
+        if (source == null) {
+            return null;
+        }
+        for (String expression : WEB_CONTEXT_EXPRESSIONS) {
+            if (source.contains(expression)) {
+                return expression;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to gzip page", e);
+        }
+        return out.toByteArray();
+    }
+
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            // Honour an explicit "gzip;q=0" opt-out
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private record RenderedPage(byte[] plain, byte[] gzip, String etag, String gzipEtag) {
+    }
+}
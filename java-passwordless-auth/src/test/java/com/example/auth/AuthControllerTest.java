@@ -0,0 +1,55 @@
+package com.example.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ConcurrentModel;
+import org.springframework.ui.Model;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import com.example.auth.metrics.AuthFlowMetrics;
+import com.example.auth.web.StaticPageCache;
+
+class AuthControllerTest {
+
+    private static AuthController controller(ITemplateEngine engine) {
+        return new AuthController(null, new StaticPageCache(engine, true, true),
+                new AuthFlowMetrics(AuthFlowMetrics.DEFAULT_WINDOW_MINUTES));
+    }
+
+    @Test
+    void showLoginRendersViewWhenFlashMessagePresent() throws Exception {
+        ITemplateEngine engine = mock(ITemplateEngine.class);
+        Model model = new ConcurrentModel().addAttribute("message", "Service timeout while sending. Please try again.");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String view = controller(engine).showLogin(model, new MockHttpServletRequest(), response);
+
+        assertEquals("login", view);
+        assertEquals(0, response.getContentAsByteArray().length);
+        verify(engine, never()).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    void showLoginServesCachedPageWithoutMessage() throws Exception {
+        ITemplateEngine engine = mock(ITemplateEngine.class);
+        when(engine.process(eq("login"), any(IContext.class))).thenReturn("<html>login</html>");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String view = controller(engine).showLogin(new ConcurrentModel(), new MockHttpServletRequest(), response);
+
+        assertNull(view);
+        assertEquals("<html>login</html>", response.getContentAsString());
+    }
+}
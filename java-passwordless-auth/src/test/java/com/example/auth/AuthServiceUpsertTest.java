@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.any;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.when;
 
+import com.example.auth.metrics.AuthFlowMetrics;
 import com.example.auth.user.UserAccount;
 import com.example.auth.user.UserAccountRepository;
 
@@ -17,7 +18,7 @@ class AuthServiceUpsertTest {
         when(repo.findByEmail("new@example.com")).thenReturn(Optional.empty());
         when(repo.save(any(UserAccount.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        AuthService svc = new AuthService(repo);
+        AuthService svc = new AuthService(repo, new AuthFlowMetrics(AuthFlowMetrics.DEFAULT_WINDOW_MINUTES));
         // Call private method via reflection to keep test minimal
         try {
             var m = AuthService.class.getDeclaredMethod("upsertUser", String.class, String.class);
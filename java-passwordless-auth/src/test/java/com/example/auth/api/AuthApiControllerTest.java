@@ -6,11 +6,12 @@ import org.junit.jupiter.api.Test;
 import com.example.auth.AuthService;
 import com.example.auth.PasswordlessResult;
 import com.example.auth.api.dto.SendRequest;
+import com.example.auth.metrics.AuthFlowMetrics;
 
 class AuthApiControllerTest {
 
     static class StubAuthService extends AuthService {
-        public StubAuthService() { super(null); }
+        public StubAuthService() { super(null, new AuthFlowMetrics(AuthFlowMetrics.DEFAULT_WINDOW_MINUTES)); }
         @Override
         public PasswordlessResult sendPasswordlessLinkOrOtp(String email) {
             return new PasswordlessResult("sent", "req-123");
@@ -0,0 +1,89 @@
+package com.example.auth.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.auth.metrics.AuthFlowMetrics.Stage;
+
+class AuthFlowMetricsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void funnelRollsOverPerMinuteAndExpiresOldSlots() {
+        AtomicLong now = new AtomicLong(0);
+        AuthFlowMetrics metrics = new AuthFlowMetrics(2, now::get);
+        long start = System.nanoTime();
+
+        metrics.record(Stage.SEND, true, start);
+        metrics.record(Stage.SEND, true, start);
+        metrics.record(Stage.OTP_VERIFY, true, start);
+        now.set(60_000);
+        metrics.record(Stage.MAGIC_VERIFY, true, start);
+
+        Map<String, Object> snap = metrics.snapshot();
+        Map<String, Object> funnel = (Map<String, Object>) ((Map<String, Object>) snap.get("window")).get("funnel");
+        assertEquals(2L, funnel.get("sends"));
+        assertEquals(1.0, funnel.get("verifyConversion"));
+        assertEquals(2, ((List<?>) snap.get("minutes")).size());
+
+        // Two minutes later the first slot falls out of the window
+        now.set(120_000);
+        snap = metrics.snapshot();
+        funnel = (Map<String, Object>) ((Map<String, Object>) snap.get("window")).get("funnel");
+        assertEquals(0L, funnel.get("sends"));
+        assertEquals(1L, funnel.get("magicVerifies"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pageHitsAppearInFunnelAsCounts() {
+        AuthFlowMetrics metrics = new AuthFlowMetrics(1, () -> 0L);
+        metrics.hit(Stage.LOGIN_VIEW);
+        metrics.hit(Stage.LOGIN_VIEW);
+        metrics.hit(Stage.MAGIC_CALLBACK);
+
+        Map<String, Object> window = (Map<String, Object>) metrics.snapshot().get("window");
+        Map<String, Object> funnel = (Map<String, Object>) window.get("funnel");
+        Map<String, Object> stages = (Map<String, Object>) window.get("stages");
+        assertEquals(2L, funnel.get("loginViews"));
+        assertEquals(1L, funnel.get("magicCallbacks"));
+        assertEquals(Map.of("count", 2L), stages.get("loginViews"));
+    }
+
+    @Test
+    void stagesOnlyAcceptTheirRecordingMethod() {
+        AuthFlowMetrics metrics = new AuthFlowMetrics(1, () -> 0L);
+        assertThrows(IllegalArgumentException.class, () -> metrics.hit(Stage.SEND));
+        assertThrows(IllegalArgumentException.class, () -> metrics.record(Stage.LOGIN_VIEW, true, System.nanoTime()));
+    }
+
+    @Test
+    void histogramBucketsRoundTrip() {
+        for (long v : new long[] {0, 7, 8, 15, 16, 1_000, 123_456, 5_000_000}) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(LatencyHistogram.lowerBound(index) <= v, "lower bound for " + v);
+            assertTrue(LatencyHistogram.lowerBound(index + 1) > v, "upper bound for " + v);
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        long[] buckets = new long[LatencyHistogram.BUCKETS];
+        long[] totals = new long[3];
+        histogram.addTo(buckets, totals);
+        long p50 = LatencyHistogram.percentile(buckets, totals[0], 0.50, totals[2]);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50=" + p50);
+        assertEquals(1_000_000L, totals[2]);
+    }
+}
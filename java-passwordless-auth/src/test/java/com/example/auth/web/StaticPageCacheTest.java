@@ -0,0 +1,153 @@
+package com.example.auth.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+class StaticPageCacheTest {
+    private static final String HTML = "<html><body>login</body></html>";
+
+    private static ITemplateEngine engine() {
+        ITemplateEngine engine = mock(ITemplateEngine.class);
+        when(engine.process(eq("login"), any(IContext.class))).thenReturn(HTML);
+        return engine;
+    }
+
+    @Test
+    void servesPlainBodyWithValidatorsAndRendersOnce() throws Exception {
+        ITemplateEngine engine = engine();
+        StaticPageCache cache = new StaticPageCache(engine, true, true);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(cache.serve("login", new MockHttpServletRequest(), first));
+        assertEquals(200, first.getStatus());
+        assertEquals(HTML, first.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(HTML.getBytes(StandardCharsets.UTF_8).length, first.getContentLength());
+        assertTrue(first.getHeader("ETag").startsWith("\""));
+        assertEquals("private, no-cache", first.getHeader("Cache-Control"));
+        assertEquals("Accept-Encoding", first.getHeader("Vary"));
+        assertNull(first.getHeader("Content-Encoding"));
+
+        assertTrue(cache.serve("login", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        verify(engine, times(1)).process(eq("login"), any(IContext.class));
+    }
+
+    @Test
+    void servesGzipBodyWithItsOwnEtag() throws Exception {
+        StaticPageCache cache = new StaticPageCache(engine(), true, true);
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        cache.serve("login", new MockHttpServletRequest(), plain);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(cache.serve("login", request, response));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        byte[] body = response.getContentAsByteArray();
+        assertEquals(body.length, response.getContentLength());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(HTML.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+        assertNotEquals(plain.getHeader("ETag"), response.getHeader("ETag"));
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingEtag() throws Exception {
+        StaticPageCache cache = new StaticPageCache(engine(), true, true);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        cache.serve("login", new MockHttpServletRequest(), first);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(cache.serve("login", request, response));
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void plainEtagDoesNotValidateGzipRepresentation() throws Exception {
+        StaticPageCache cache = new StaticPageCache(engine(), true, true);
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        cache.serve("login", new MockHttpServletRequest(), plain);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", plain.getHeader("ETag"));
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(cache.serve("login", request, response));
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertTrue(response.getContentAsByteArray().length > 0);
+    }
+
+    @Test
+    void bypassedWhenDisabledOrTemplateCacheOff() throws Exception {
+        ITemplateEngine engine = engine();
+        assertFalse(new StaticPageCache(engine, false, true)
+                .serve("login", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertFalse(new StaticPageCache(engine, true, false)
+                .serve("login", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        verify(engine, never()).process(anyString(), any(IContext.class));
+    }
+
+    @Test
+    void renderFailureFallsBackToNormalRendering() throws Exception {
+        ITemplateEngine engine = mock(ITemplateEngine.class);
+        when(engine.process(eq("login"), any(IContext.class))).thenThrow(new IllegalStateException("boom"));
+        StaticPageCache cache = new StaticPageCache(engine, true, true);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(cache.serve("login", new MockHttpServletRequest(), response));
+        assertFalse(response.isCommitted());
+        assertFalse(cache.serve("login", new MockHttpServletRequest(), new MockHttpServletResponse()));
+        verify(engine, times(1)).process(eq("login"), any(IContext.class));
+    }
+
+    @Test
+    void detectsWebContextExpressions() {
+        assertEquals("@{", StaticPageCache.webContextExpression("<a th:href=\"@{/auth/login}\">"));
+        assertEquals("th:action", StaticPageCache.webContextExpression("<form th:action=\"/x\">"));
+        assertNull(StaticPageCache.webContextExpression("<div th:text=\"${message}\"></div>"));
+    }
+
+    @Test
+    void etagMatchesStrongWeakAndWildcard() {
+        assertTrue(StaticPageCache.etagMatches("\"abc\"", "\"abc\""));
+        assertTrue(StaticPageCache.etagMatches("\"x\", W/\"abc\"", "\"abc\""));
+        assertTrue(StaticPageCache.etagMatches("*", "\"abc\""));
+        assertFalse(StaticPageCache.etagMatches("\"other\"", "\"abc\""));
+        assertFalse(StaticPageCache.etagMatches(null, "\"abc\""));
+    }
+
+    @Test
+    void acceptsGzipHonoursQualityZero() {
+        assertTrue(StaticPageCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(StaticPageCache.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertFalse(StaticPageCache.acceptsGzip("gzip;q=0"));
+        assertFalse(StaticPageCache.acceptsGzip("identity"));
+        assertFalse(StaticPageCache.acceptsGzip(null));
+    }
+}